@@ -0,0 +1,492 @@
+package demo_programs;
+
+import java.io.*;
+import java.lang.management.*;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+// Measures named stream pipelines across data sizes and thread counts, appends the
+// results to a local CSV file and flags regressions against a stored baseline.
+//
+//   java demo_programs/StreamPipelineHarnessExample.java                    run and compare with baseline
+//   java demo_programs/StreamPipelineHarnessExample.java --save-baseline    run and store as the new baseline
+//
+// Options: --results=<file> (default stream-stats.csv), --baseline=<file> (default stream-baseline.csv),
+//          --threshold=<fraction> (default 0.10), --millis=<length of one timed window> (default 200),
+//          --repeats=<timed windows per case> (default 5),
+//          --threads=<comma-separated thread counts> (default 1, 2, 4, ... up to the number of CPUs)
+public class StreamPipelineHarnessExample {
+
+    // Options that take a value; save-baseline is the only flag
+    private static final Set<String> VALUE_OPTIONS = Set.of("results", "baseline", "threshold", "millis", "repeats", "threads");
+    private static final Set<String> FLAG_OPTIONS = Set.of("save-baseline");
+
+    public static void main(String[] args) throws Exception {
+
+        // ===================================================
+        // Harness Options
+        // ===================================================
+        Map<String, String> options = parseOptions(args);
+        Path resultsFile = Path.of(options.getOrDefault("results", "stream-stats.csv"));
+        Path baselineFile = Path.of(options.getOrDefault("baseline", "stream-baseline.csv"));
+        double threshold = doubleOption(options, "threshold", "0.10");
+        long windowMillis = longOption(options, "millis", "200");
+        int repeats = (int) longOption(options, "repeats", "5");
+        if (windowMillis <= 0 || repeats <= 0) {
+            throw new IllegalArgumentException("Options --millis and --repeats must be positive");
+        }
+        // Written so NaN fails too; 0 would flag noise and 1 or more disables the throughput check
+        if (!(threshold > 0 && threshold < 1)) {
+            throw new IllegalArgumentException("Option --threshold must be a fraction between 0 and 1 (exclusive), got: " + threshold);
+        }
+
+        PipelineHarness harness = new PipelineHarness(windowMillis, repeats);
+
+        // ===================================================
+        // 1️⃣ Demo pipelines (sections of the other demo programs)
+        // ===================================================
+        harness.register("filter-toList", s -> s.filter(n -> n % 2 == 0).toList());
+        harness.register("map-toList", s -> s.map(n -> n * n).toList());
+        harness.register("mapToInt-sum", s -> s.mapToInt(n -> n).sum());
+        harness.register("distinct", s -> s.distinct().toList());
+        harness.register("sorted", s -> s.sorted(Comparator.reverseOrder()).toList());
+        harness.register("reduce-sum", s -> s.reduce(0, Integer::sum));
+        harness.register("groupingBy", s -> s.collect(Collectors.groupingBy(n -> n % 10, Collectors.counting())));
+        harness.register("anyMatch", s -> s.anyMatch(n -> n < 0));
+
+        // ===================================================
+        // 2️⃣ User-registered pipelines
+        // ===================================================
+        // Any Function<Stream<Integer>, ?> can be added; threads=1 runs it sequentially,
+        // threads>1 runs it as a parallel stream inside a ForkJoinPool of that size
+        harness.register("user-cpu-heavy-map", s -> s.mapToDouble(n -> Math.sqrt(Math.log(n + 1.0) * Math.sin(n))).sum());
+
+        // ===================================================
+        // 3️⃣ Run across sizes and thread counts
+        // ===================================================
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> sizes = List.of(1_000, 100_000, 1_000_000);
+        List<Integer> threadCounts = options.containsKey("threads") ? parseThreads(options.get("threads")) : threadLadder(cores);
+        if (threadCounts.equals(List.of(1))) {
+            System.out.println("Only threads=1 is measured (CPUs available: " + cores + "), so parallel speedup is NOT tested;"
+                    + " pass --threads=1,2,4 to run parallel cases anyway");
+        } else if (!threadCounts.contains(1)) {
+            System.out.println("--threads does not include 1, so the parallel x column has no sequential run to compare with");
+        }
+        if (threadCounts.get(threadCounts.size() - 1) > cores) {
+            System.out.println("Thread counts above the CPU count (" + cores + ") oversubscribe the machine;"
+                    + " their parallel x shows overhead, not speedup");
+        }
+        List<RunResult> results = harness.runAll(sizes, threadCounts);
+
+        // ===================================================
+        // 4️⃣ Persist and compare with baseline
+        // ===================================================
+        ResultStore.append(resultsFile, results);
+        System.out.println("Appended " + results.size() + " results to " + resultsFile);
+
+        if (options.containsKey("save-baseline")) {
+            ResultStore.write(baselineFile, results);
+            System.out.println("Saved baseline to " + baselineFile);
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            System.out.println("No baseline at " + baselineFile + " (run with --save-baseline to create one)");
+            return;
+        }
+        CheckReport report = RegressionCheck.compare(ResultStore.readLatest(baselineFile), results, threshold);
+        report.unmatched().forEach(key -> System.out.println("NOT IN BASELINE " + key));
+        if (report.compared() == 0) {
+            // Typically a baseline from another machine (different core count) or another set of sizes
+            System.out.println("No case matched the baseline in " + baselineFile + "; nothing was compared");
+            System.exit(1);
+        }
+        if (report.p99Skipped() > 0) {
+            System.out.printf("Skipped the p99 check for %d cases with fewer than %d samples per window%n",
+                    report.p99Skipped(), RegressionCheck.MIN_P99_SAMPLES);
+        }
+        if (report.regressions().isEmpty()) {
+            System.out.printf("No regressions beyond %.0f%% in %d compared cases against %s%n",
+                    threshold * 100, report.compared(), baselineFile);
+        } else {
+            report.regressions().forEach(r -> System.out.println("REGRESSION " + r));
+            System.exit(1);
+        }
+
+        // ===================================================
+        // 🔑 Notes:
+        // - The "parallel x" column is throughput at N threads divided by throughput at 1 thread:
+        //   below 1.0 means parallel() made that pipeline slower at that size (see streams_parallel.md).
+        // - Throughput and p50/p90/p99 are medians of the per-window values over --repeats timed windows;
+        //   max is the slowest invocation overall. p99 is only compared with enough samples per window.
+        // - Allocation is summed over all threads alive during the case, so it includes the ForkJoinPool workers.
+        // - Compare baselines only from the same machine and JVM; results are not portable.
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            if (VALUE_OPTIONS.contains(name)) {
+                if (eq < 0 || eq == arg.length() - 1) {
+                    throw new IllegalArgumentException("Option --" + name + " needs a value, e.g. --" + name + "=<value>");
+                }
+                options.put(name, arg.substring(eq + 1));
+            } else if (FLAG_OPTIONS.contains(name)) {
+                if (eq >= 0) {
+                    throw new IllegalArgumentException("Option --" + name + " does not take a value");
+                }
+                options.put(name, "true");
+            } else {
+                throw new IllegalArgumentException("Unknown option --" + name + "; expected one of "
+                        + new TreeSet<>(VALUE_OPTIONS) + " or " + FLAG_OPTIONS);
+            }
+        }
+        return options;
+    }
+
+    // 1, 2, 4, ... below the CPU count, then the CPU count itself
+    private static List<Integer> threadLadder(int cores) {
+        List<Integer> ladder = new ArrayList<>();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            ladder.add(threads);
+        }
+        ladder.add(cores);
+        return ladder;
+    }
+
+    private static List<Integer> parseThreads(String value) {
+        TreeSet<Integer> counts = new TreeSet<>();
+        for (String part : value.split(",")) {
+            try {
+                int threads = Integer.parseInt(part.trim());
+                if (threads <= 0) throw new NumberFormatException();
+                counts.add(threads);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Option --threads must list positive whole numbers, e.g. --threads=1,2,4; got: " + value);
+            }
+        }
+        return List.copyOf(counts);
+    }
+
+    private static double doubleOption(Map<String, String> options, String name, String defaultValue) {
+        String value = options.getOrDefault(name, defaultValue);
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Option --" + name + " must be a number, got: " + value);
+        }
+    }
+
+    private static long longOption(Map<String, String> options, String name, String defaultValue) {
+        String value = options.getOrDefault(name, defaultValue);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Option --" + name + " must be a whole number, got: " + value);
+        }
+    }
+
+    // ===================================================
+    // One measured (pipeline, size, threads) case
+    // ===================================================
+    record RunResult(String pipeline, int size, int threads, int windows, int samples, double opsPerSec,
+            double p50Micros, double p90Micros, double p99Micros, double maxMicros,
+            long gcCount, double allocMbPerSec) {
+
+        String key() {
+            return pipeline + "/" + size + "/" + threads;
+        }
+
+        int samplesPerWindow() {
+            return samples / windows;
+        }
+    }
+
+    // ===================================================
+    // Harness — warm-up, timed loop, GC and allocation counters
+    // ===================================================
+    static final class PipelineHarness {
+
+        // Preallocated so recording a latency never allocates or copies inside the timed loop
+        private static final int MAX_SAMPLES = 1 << 21;
+
+        private final Map<String, Function<Stream<Integer>, ?>> pipelines = new LinkedHashMap<>();
+        private final long windowNanos;
+        private final int repeats;
+        private final long[] latencies = new long[MAX_SAMPLES];
+        private Object sink;
+
+        PipelineHarness(long windowMillis, int repeats) {
+            this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+            this.repeats = repeats;
+        }
+
+        void register(String name, Function<Stream<Integer>, ?> pipeline) {
+            if (name.contains(",") || name.contains("/")) {
+                throw new IllegalArgumentException("Pipeline name must not contain ',' or '/': " + name);
+            }
+            if (pipelines.putIfAbsent(name, pipeline) != null) {
+                throw new IllegalArgumentException("Pipeline already registered: " + name);
+            }
+        }
+
+        List<RunResult> runAll(List<Integer> sizes, List<Integer> threadCounts) throws Exception {
+            List<RunResult> results = new ArrayList<>();
+            System.out.printf("%-20s %9s %7s %8s %12s %10s %10s %10s %10s %5s %10s %10s%n", "Pipeline", "Size", "Threads",
+                    "samples", "ops/s", "p50 us", "p90 us", "p99 us", "max us", "GCs", "alloc MB/s", "parallel x");
+            for (Map.Entry<String, Function<Stream<Integer>, ?>> entry : pipelines.entrySet()) {
+                for (int size : sizes) {
+                    List<Integer> data = new Random(size).ints(size, 0, size).boxed().toList();
+                    RunResult sequential = null;
+                    for (int threads : threadCounts) {
+                        RunResult result = run(entry.getKey(), entry.getValue(), data, threads);
+                        if (threads == 1) sequential = result;
+                        String speedup = sequential == null ? "-" : String.format("%.2f", result.opsPerSec() / sequential.opsPerSec());
+                        System.out.printf("%-20s %9d %7d %8d %12.1f %10.1f %10.1f %10.1f %10.1f %5d %10.1f %10s%n",
+                                result.pipeline(), result.size(), result.threads(), result.samples(), result.opsPerSec(),
+                                result.p50Micros(), result.p90Micros(), result.p99Micros(), result.maxMicros(),
+                                result.gcCount(), result.allocMbPerSec(), speedup);
+                        results.add(result);
+                    }
+                }
+            }
+            return results;
+        }
+
+        RunResult run(String name, Function<Stream<Integer>, ?> pipeline, List<Integer> data, int threads) throws Exception {
+            ForkJoinPool pool = threads > 1 ? new ForkJoinPool(threads) : null;
+            try {
+                Runnable invocation = threads > 1
+                        ? () -> sink = pool.submit(() -> pipeline.apply(data.parallelStream())).join()
+                        : () -> sink = pipeline.apply(data.stream());
+
+                // Warm-up for two windows so the JIT has compiled the pipeline
+                long warmupEnd = System.nanoTime() + 2 * windowNanos;
+                while (System.nanoTime() < warmupEnd) invocation.run();
+
+                double[] windowOps = new double[repeats];
+                double[] windowP50 = new double[repeats];
+                double[] windowP90 = new double[repeats];
+                double[] windowP99 = new double[repeats];
+                long maxNanos = 0;
+                int windows = 0;
+                int count = 0;
+                long measuredNanos = 0;
+                long gcBefore = gcCount();
+                Map<Long, Long> allocBefore = allocatedBytesByThread();
+                while (windows < repeats && count < MAX_SAMPLES) {
+                    int windowCount = 0;
+                    long windowStart = System.nanoTime();
+                    long now = windowStart;
+                    do {
+                        long begin = System.nanoTime();
+                        invocation.run();
+                        now = System.nanoTime();
+                        latencies[count++] = now - begin;
+                        windowCount++;
+                    } while (now - windowStart < windowNanos && count < MAX_SAMPLES);
+                    measuredNanos += now - windowStart;
+                    windowOps[windows] = windowCount / ((now - windowStart) / 1e9);
+                    // Sorting in place between windows allocates nothing and keeps each window's samples separate
+                    int first = count - windowCount;
+                    Arrays.sort(latencies, first, count);
+                    windowP50[windows] = percentile(latencies, first, windowCount, 0.50);
+                    windowP90[windows] = percentile(latencies, first, windowCount, 0.90);
+                    windowP99[windows] = percentile(latencies, first, windowCount, 0.99);
+                    maxNanos = Math.max(maxNanos, latencies[count - 1]);
+                    windows++;
+                }
+                long gcs = gcCount() - gcBefore;
+                long allocated = allocatedBytesSince(allocBefore);
+
+                // Every percentile is the median of its per-window values; since p50 <= p90 <= p99 holds
+                // in each window, it also holds for the medians
+                return new RunResult(name, data.size(), threads, windows, count, median(windowOps, windows),
+                        median(windowP50, windows), median(windowP90, windows),
+                        median(windowP99, windows), maxNanos / 1e3,
+                        gcs, allocated / (measuredNanos / 1e9) / (1024 * 1024));
+            } finally {
+                if (pool != null) {
+                    // Wait for the workers to exit so they cannot leak into the next case's allocation snapshot
+                    pool.shutdown();
+                    pool.awaitTermination(10, TimeUnit.SECONDS);
+                }
+            }
+        }
+
+        private static double median(double[] values, int count) {
+            double[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            return count % 2 == 1 ? sorted[count / 2] : (sorted[count / 2 - 1] + sorted[count / 2]) / 2;
+        }
+
+        // Nearest-rank percentile over sorted[from, from + count) nanosecond latencies, in microseconds
+        private static double percentile(long[] sorted, int from, int count, double p) {
+            int rank = (int) Math.ceil(p * count);
+            return sorted[from + Math.max(0, rank - 1)] / 1e3;
+        }
+
+        private static long gcCount() {
+            long total = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                total += Math.max(0, gc.getCollectionCount());
+            }
+            return total;
+        }
+
+        // Uses the HotSpot extension of ThreadMXBean; empty when it is unavailable
+        private static Map<Long, Long> allocatedBytesByThread() {
+            Map<Long, Long> bytesById = new HashMap<>();
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                    && threads.isThreadAllocatedMemoryEnabled()) {
+                long[] ids = threads.getAllThreadIds();
+                long[] bytes = threads.getThreadAllocatedBytes(ids);
+                for (int i = 0; i < ids.length; i++) {
+                    if (bytes[i] >= 0) bytesById.put(ids[i], bytes[i]);
+                }
+            }
+            return bytesById;
+        }
+
+        // Per-thread deltas: threads started during the case count from zero, and a thread
+        // that exited before the second snapshot is left out instead of making the total negative
+        private static long allocatedBytesSince(Map<Long, Long> before) {
+            long total = 0;
+            for (Map.Entry<Long, Long> after : allocatedBytesByThread().entrySet()) {
+                total += Math.max(0, after.getValue() - before.getOrDefault(after.getKey(), 0L));
+            }
+            return total;
+        }
+    }
+
+    // ===================================================
+    // CSV persistence
+    // ===================================================
+    static final class ResultStore {
+
+        private static final String HEADER = "timestamp,pipeline,size,threads,windows,samples,ops_per_sec,p50_us,p90_us,p99_us,max_us,gc_count,alloc_mb_per_sec";
+
+        private ResultStore() {
+        }
+
+        // A file with another column layout (e.g. from an older harness) is moved aside rather than
+        // mixed with rows that readLatest could no longer parse
+        static void append(Path file, List<RunResult> results) throws IOException {
+            if (Files.exists(file) && Files.size(file) > 0 && !hasCurrentHeader(file)) {
+                Path rotated = file.resolveSibling(file.getFileName() + ".old-" + System.currentTimeMillis());
+                Files.move(file, rotated);
+                System.out.println(file + " has a different column layout; moved it to " + rotated);
+            }
+            boolean exists = Files.exists(file) && Files.size(file) > 0;
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (!exists) {
+                    out.write(HEADER);
+                    out.newLine();
+                }
+                writeRows(out, results);
+            }
+        }
+
+        private static boolean hasCurrentHeader(Path file) throws IOException {
+            try (BufferedReader in = Files.newBufferedReader(file)) {
+                return HEADER.equals(in.readLine());
+            }
+        }
+
+        static void write(Path file, List<RunResult> results) throws IOException {
+            try (BufferedWriter out = Files.newBufferedWriter(file)) {
+                out.write(HEADER);
+                out.newLine();
+                writeRows(out, results);
+            }
+        }
+
+        // Later rows win, so a file that has been appended to yields its most recent run per case
+        static Map<String, RunResult> readLatest(Path file) throws IOException {
+            List<String> lines = Files.readAllLines(file);
+            if (lines.isEmpty() || !lines.get(0).equals(HEADER)) {
+                throw new IllegalArgumentException(file + " has an unexpected header; it may come from an older"
+                        + " version of this harness, so re-run with --save-baseline");
+            }
+            return lines.stream()
+                    .skip(1)
+                    .filter(line -> !line.isBlank())
+                    .map(ResultStore::parse)
+                    .collect(Collectors.toMap(RunResult::key, r -> r, (older, newer) -> newer, LinkedHashMap::new));
+        }
+
+        private static void writeRows(BufferedWriter out, List<RunResult> results) throws IOException {
+            String timestamp = Instant.now().toString();
+            for (RunResult r : results) {
+                out.write(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%.3f",
+                        timestamp, r.pipeline(), r.size(), r.threads(), r.windows(), r.samples(), r.opsPerSec(), r.p50Micros(), r.p90Micros(),
+                        r.p99Micros(), r.maxMicros(), r.gcCount(), r.allocMbPerSec()));
+                out.newLine();
+            }
+        }
+
+        private static RunResult parse(String line) {
+            String[] f = line.split(",");
+            if (f.length != 13) {
+                throw new IllegalArgumentException("Malformed result line: " + line);
+            }
+            return new RunResult(f[1], Integer.parseInt(f[2]), Integer.parseInt(f[3]), Integer.parseInt(f[4]),
+                    Integer.parseInt(f[5]), Double.parseDouble(f[6]), Double.parseDouble(f[7]), Double.parseDouble(f[8]),
+                    Double.parseDouble(f[9]), Double.parseDouble(f[10]), Long.parseLong(f[11]), Double.parseDouble(f[12]));
+        }
+    }
+
+    // ===================================================
+    // Regression check — throughput drop or p99 increase beyond threshold
+    // ===================================================
+    record CheckReport(List<String> regressions, List<String> unmatched, int compared, int p99Skipped) {
+    }
+
+    static final class RegressionCheck {
+
+        // Below this many samples per window p99 is effectively the maximum, which is too noisy to gate on
+        static final int MIN_P99_SAMPLES = 100;
+
+        private RegressionCheck() {
+        }
+
+        static CheckReport compare(Map<String, RunResult> baseline, List<RunResult> current, double threshold) {
+            List<String> regressions = new ArrayList<>();
+            List<String> unmatched = new ArrayList<>();
+            int compared = 0;
+            int p99Skipped = 0;
+            for (RunResult now : current) {
+                RunResult before = baseline.get(now.key());
+                if (before == null) {
+                    unmatched.add(now.key());
+                    continue;
+                }
+                compared++;
+                if (now.opsPerSec() < before.opsPerSec() * (1 - threshold)) {
+                    regressions.add(String.format("%s throughput %.1f -> %.1f ops/s (%+.1f%%)", now.key(),
+                            before.opsPerSec(), now.opsPerSec(), change(before.opsPerSec(), now.opsPerSec())));
+                }
+                if (Math.min(now.samplesPerWindow(), before.samplesPerWindow()) < MIN_P99_SAMPLES) {
+                    p99Skipped++;
+                } else if (now.p99Micros() > before.p99Micros() * (1 + threshold)) {
+                    regressions.add(String.format("%s p99 %.1f -> %.1f us (%+.1f%%)", now.key(),
+                            before.p99Micros(), now.p99Micros(), change(before.p99Micros(), now.p99Micros())));
+                }
+            }
+            return new CheckReport(regressions, unmatched, compared, p99Skipped);
+        }
+
+        private static double change(double before, double now) {
+            return (now - before) / before * 100;
+        }
+    }
+}
@@ -0,0 +1,923 @@
+package demo_programs;
+
+import java.io.*;
+import java.lang.management.*;
+import java.nio.*;
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+// Runs anywhere on Java 17+; the SIMD kernels in VectorReductionKernels.java are used only when that
+// class is compiled alongside and jdk.incubator.vector is enabled, otherwise the scalar loops are used:
+//   java demo_programs/StreamVectorReductionExample.java                      scalar fallback
+//   javac --add-modules jdk.incubator.vector -d out demo_programs/StreamVectorReductionExample.java demo_programs/VectorReductionKernels.java
+//   java --add-modules jdk.incubator.vector -cp out demo_programs.StreamVectorReductionExample [--bench]
+// Pass -Dvector.disable=true to force the scalar loops even when SIMD is available.
+public class StreamVectorReductionExample {
+
+    public static void main(String[] args) throws Exception {
+
+        // Forked benchmark JVMs only run their single case
+        if (args.length == 4 && args[0].equals("--bench-case")) {
+            ReductionBenchmark.runCase(Integer.parseInt(args[1]), args[2], args[3]);
+            return;
+        }
+
+        // ===================================================
+        // Sample Array Data
+        // ===================================================
+        int[] ints = IntStream.rangeClosed(1, 20).toArray();
+        long[] longs = LongStream.rangeClosed(1, 20).map(n -> n * 1_000_000_000L).toArray();
+        double[] doubles = DoubleStream.iterate(0.5, d -> d + 0.25).limit(20).toArray();
+        System.out.println("Kernels: " + VectorReductions.status());
+
+        // ===================================================
+        // 1️⃣ sum() — SIMD lanes vs IntStream
+        // ===================================================
+        System.out.println("IntStream sum: " + IntStream.of(ints).sum());
+        System.out.println("Vector int sum: " + VectorReductions.of(ints).sum());
+        System.out.println("Vector long sum: " + VectorReductions.of(longs).sum());
+        System.out.println("Vector double sum: " + VectorReductions.of(doubles).sum());
+
+        // ===================================================
+        // 2️⃣ min() / max() / average()
+        // ===================================================
+        // Same Optional contract as primitive streams: empty input -> empty result
+        System.out.println("Vector int min: " + VectorReductions.of(ints).min().orElseThrow());
+        System.out.println("Vector int max: " + VectorReductions.of(ints).max().orElseThrow());
+        System.out.println("Vector double average: " + VectorReductions.of(doubles).average().orElse(0));
+        System.out.println("Vector min of empty array: " + VectorReductions.of(new int[0]).min());
+
+        // ===================================================
+        // 3️⃣ count(Comparison, value) — filter + count kernel
+        // ===================================================
+        // Equivalent to IntStream.of(ints).filter(n -> n > 10).count(), but the
+        // predicate is evaluated on whole vectors and the mask bits are counted
+        System.out.println("IntStream filter(n > 10).count(): " + IntStream.of(ints).filter(n -> n > 10).count());
+        System.out.println("Vector count(GT, 10): " + VectorReductions.of(ints).count(Comparison.GT, 10));
+        System.out.println("Vector double count(LE, 2.0): " + VectorReductions.of(doubles).count(Comparison.LE, 2.0));
+
+        // ===================================================
+        // 4️⃣ dot() — multiply-accumulate of two arrays
+        // ===================================================
+        System.out.println("IntStream dot: " + IntStream.range(0, ints.length).map(i -> ints[i] * ints[i]).sum());
+        System.out.println("Vector int dot: " + VectorReductions.of(ints).dot(ints));
+        System.out.println("Vector double dot: " + VectorReductions.of(doubles).dot(doubles));
+
+        // ===================================================
+        // 5️⃣ Sub-ranges and the scalar fallback
+        // ===================================================
+        // of(array, from, to) views a slice without copying, like Arrays.stream(array, from, to)
+        System.out.println("Vector sum of ints[5..15): " + VectorReductions.of(ints, 5, 15).sum());
+        System.out.println("Scalar sum of ints[5..15): " + VectorReductions.of(ints, 5, 15).scalar().sum());
+
+        // ===================================================
+        // 6️⃣ Off-heap data — direct ByteBuffer
+        // ===================================================
+        // ofInts/ofLongs/ofDoubles read the elements between position and limit in the buffer's byte order
+        ByteBuffer direct = ByteBuffer.allocateDirect(ints.length * Integer.BYTES).order(ByteOrder.nativeOrder());
+        direct.asIntBuffer().put(ints);
+        System.out.println("Direct buffer int sum: " + VectorReductions.ofInts(direct).sum());
+        System.out.println("Direct buffer int max: " + VectorReductions.ofInts(direct).max().orElseThrow());
+        System.out.println("Direct buffer count(GT, 10): " + VectorReductions.ofInts(direct).count(Comparison.GT, 10));
+        System.out.println("Direct buffer dot: " + VectorReductions.ofInts(direct).dot(direct));
+
+        // ===================================================
+        // 7️⃣ Benchmark (pass --bench)
+        // ===================================================
+        if (args.length > 0 && args[0].equals("--bench")) {
+            ReductionBenchmark.run();
+        }
+
+        // ===================================================
+        // 🔑 Notes:
+        // - Kernels only pay off for array-backed data; a stream pipeline has no array to load vectors from.
+        // - Off-heap data goes through a direct ByteBuffer: the SIMD kernels load with fromByteBuffer and the
+        //   scalar loops read through asIntBuffer()/asLongBuffer()/asDoubleBuffer(). Prefer native byte order.
+        // - Int sums wrap on overflow exactly like IntStream.sum().
+        // - Double sums add lanes in a different order than DoubleStream.sum() (which compensates),
+        //   so the last bits of the result may differ.
+        // - Falls back to the scalar loops when jdk.incubator.vector is not enabled, VectorReductionKernels
+        //   is not on the class path, or the preferred vector shape has a single lane.
+    }
+
+    // ===================================================
+    // Comparison operators for count()
+    // ===================================================
+    enum Comparison {
+        LT, LE, GT, GE, EQ, NE;
+
+        boolean test(long a, long b) {
+            return switch (this) {
+                case LT -> a < b;
+                case LE -> a <= b;
+                case GT -> a > b;
+                case GE -> a >= b;
+                case EQ -> a == b;
+                case NE -> a != b;
+            };
+        }
+
+        boolean test(double a, double b) {
+            return switch (this) {
+                case LT -> a < b;
+                case LE -> a <= b;
+                case GT -> a > b;
+                case GE -> a >= b;
+                case EQ -> a == b;
+                case NE -> a != b;
+            };
+        }
+    }
+
+    // ===================================================
+    // Stream-like entry points
+    // ===================================================
+    static final class VectorReductions {
+
+        private static final ReductionKernels KERNELS;
+        private static final String STATUS;
+
+        // The Vector API kernels live in VectorReductionKernels.java so this file compiles and runs
+        // without jdk.incubator.vector; they are only loaded once the module is known to be present
+        static {
+            ReductionKernels kernels = ScalarKernels.INSTANCE;
+            String status;
+            if (Boolean.getBoolean("vector.disable")) {
+                status = "scalar loops (disabled with -Dvector.disable=true)";
+            } else if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+                status = "scalar loops (run with --add-modules jdk.incubator.vector to enable SIMD)";
+            } else {
+                try {
+                    ReductionKernels vector = (ReductionKernels) Class.forName("demo_programs.VectorReductionKernels")
+                            .getDeclaredConstructor().newInstance();
+                    if (vector.minLanes() < 2) {
+                        // One lane per vector only adds overhead over a plain loop
+                        status = "scalar loops (preferred vector shape is too narrow: " + vector.describe() + ")";
+                    } else {
+                        kernels = vector;
+                        status = vector.describe();
+                    }
+                } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+                    status = "scalar loops (compile demo_programs/VectorReductionKernels.java alongside this file to enable SIMD)";
+                }
+            }
+            KERNELS = kernels;
+            STATUS = status;
+        }
+
+        private VectorReductions() {
+        }
+
+        // Zero-based view of the remaining bytes that keeps the byte order, which slice() resets
+        private static ByteBuffer slice(ByteBuffer buffer, int elementBytes) {
+            if (buffer.remaining() % elementBytes != 0) {
+                throw new IllegalArgumentException("Buffer has " + buffer.remaining()
+                        + " remaining bytes, not a multiple of " + elementBytes);
+            }
+            return buffer.slice().order(buffer.order());
+        }
+
+        static boolean isVectorized() {
+            return KERNELS != ScalarKernels.INSTANCE;
+        }
+
+        static String status() {
+            return STATUS;
+        }
+
+        static IntReduction of(int[] data) {
+            return of(data, 0, data.length);
+        }
+
+        static IntReduction of(int[] data, int from, int to) {
+            Objects.checkFromToIndex(from, to, data.length);
+            return new IntReduction(data, null, from, to, KERNELS);
+        }
+
+        // Reads the ints between position and limit in the buffer's byte order; works on direct (off-heap) buffers
+        static IntReduction ofInts(ByteBuffer buffer) {
+            ByteBuffer view = slice(buffer, Integer.BYTES);
+            return new IntReduction(null, view, 0, view.remaining() / Integer.BYTES, KERNELS);
+        }
+
+        static LongReduction of(long[] data) {
+            return of(data, 0, data.length);
+        }
+
+        static LongReduction of(long[] data, int from, int to) {
+            Objects.checkFromToIndex(from, to, data.length);
+            return new LongReduction(data, null, from, to, KERNELS);
+        }
+
+        // Reads the longs between position and limit in the buffer's byte order; works on direct (off-heap) buffers
+        static LongReduction ofLongs(ByteBuffer buffer) {
+            ByteBuffer view = slice(buffer, Long.BYTES);
+            return new LongReduction(null, view, 0, view.remaining() / Long.BYTES, KERNELS);
+        }
+
+        static DoubleReduction of(double[] data) {
+            return of(data, 0, data.length);
+        }
+
+        static DoubleReduction of(double[] data, int from, int to) {
+            Objects.checkFromToIndex(from, to, data.length);
+            return new DoubleReduction(data, null, from, to, KERNELS);
+        }
+
+        // Reads the doubles between position and limit in the buffer's byte order; works on direct (off-heap) buffers
+        static DoubleReduction ofDoubles(ByteBuffer buffer) {
+            ByteBuffer view = slice(buffer, Double.BYTES);
+            return new DoubleReduction(null, view, 0, view.remaining() / Double.BYTES, KERNELS);
+        }
+    }
+
+    // Backed by exactly one of an array slice or a zero-based buffer view
+    static final class IntReduction {
+        private final int[] array;
+        private final ByteBuffer buffer;
+        private final int from;
+        private final int to;
+        private final ReductionKernels kernels;
+
+        private IntReduction(int[] array, ByteBuffer buffer, int from, int to, ReductionKernels kernels) {
+            this.array = array;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.kernels = kernels;
+        }
+
+        IntReduction scalar() {
+            return new IntReduction(array, buffer, from, to, ScalarKernels.INSTANCE);
+        }
+
+        long count() {
+            return to - from;
+        }
+
+        int sum() {
+            return array != null ? kernels.sum(array, from, to) : kernels.sumInts(buffer, from, to);
+        }
+
+        OptionalInt min() {
+            if (from == to) return OptionalInt.empty();
+            return OptionalInt.of(array != null ? kernels.min(array, from, to) : kernels.minInts(buffer, from, to));
+        }
+
+        OptionalInt max() {
+            if (from == to) return OptionalInt.empty();
+            return OptionalInt.of(array != null ? kernels.max(array, from, to) : kernels.maxInts(buffer, from, to));
+        }
+
+        OptionalDouble average() {
+            if (from == to) return OptionalDouble.empty();
+            // Widen before summing so the average does not wrap, as IntStream.average() does
+            long sum = array != null ? kernels.sumAsLong(array, from, to) : kernels.sumIntsAsLong(buffer, from, to);
+            return OptionalDouble.of((double) sum / (to - from));
+        }
+
+        long count(Comparison op, int value) {
+            return array != null ? kernels.count(array, from, to, op, value) : kernels.countInts(buffer, from, to, op, value);
+        }
+
+        int dot(int[] other) {
+            if (array == null) {
+                throw new IllegalStateException("Buffer-backed reduction: use dot(ByteBuffer)");
+            }
+            Objects.checkFromToIndex(0, to - from, other.length);
+            return kernels.dot(array, from, to, other);
+        }
+
+        // Reads the other operand from its position in its own byte order
+        int dot(ByteBuffer other) {
+            if (buffer == null) {
+                throw new IllegalStateException("Array-backed reduction: use dot(int[])");
+            }
+            ByteBuffer view = VectorReductions.slice(other, Integer.BYTES);
+            Objects.checkFromToIndex(0, to - from, view.remaining() / Integer.BYTES);
+            return kernels.dotInts(buffer, from, to, view);
+        }
+    }
+
+    // Backed by exactly one of an array slice or a zero-based buffer view
+    static final class LongReduction {
+        private final long[] array;
+        private final ByteBuffer buffer;
+        private final int from;
+        private final int to;
+        private final ReductionKernels kernels;
+
+        private LongReduction(long[] array, ByteBuffer buffer, int from, int to, ReductionKernels kernels) {
+            this.array = array;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.kernels = kernels;
+        }
+
+        LongReduction scalar() {
+            return new LongReduction(array, buffer, from, to, ScalarKernels.INSTANCE);
+        }
+
+        long count() {
+            return to - from;
+        }
+
+        long sum() {
+            return array != null ? kernels.sum(array, from, to) : kernels.sumLongs(buffer, from, to);
+        }
+
+        OptionalLong min() {
+            if (from == to) return OptionalLong.empty();
+            return OptionalLong.of(array != null ? kernels.min(array, from, to) : kernels.minLongs(buffer, from, to));
+        }
+
+        OptionalLong max() {
+            if (from == to) return OptionalLong.empty();
+            return OptionalLong.of(array != null ? kernels.max(array, from, to) : kernels.maxLongs(buffer, from, to));
+        }
+
+        OptionalDouble average() {
+            if (from == to) return OptionalDouble.empty();
+            return OptionalDouble.of((double) sum() / (to - from));
+        }
+
+        long count(Comparison op, long value) {
+            return array != null ? kernels.count(array, from, to, op, value) : kernels.countLongs(buffer, from, to, op, value);
+        }
+
+        long dot(long[] other) {
+            if (array == null) {
+                throw new IllegalStateException("Buffer-backed reduction: use dot(ByteBuffer)");
+            }
+            Objects.checkFromToIndex(0, to - from, other.length);
+            return kernels.dot(array, from, to, other);
+        }
+
+        // Reads the other operand from its position in its own byte order
+        long dot(ByteBuffer other) {
+            if (buffer == null) {
+                throw new IllegalStateException("Array-backed reduction: use dot(long[])");
+            }
+            ByteBuffer view = VectorReductions.slice(other, Long.BYTES);
+            Objects.checkFromToIndex(0, to - from, view.remaining() / Long.BYTES);
+            return kernels.dotLongs(buffer, from, to, view);
+        }
+    }
+
+    // Backed by exactly one of an array slice or a zero-based buffer view
+    static final class DoubleReduction {
+        private final double[] array;
+        private final ByteBuffer buffer;
+        private final int from;
+        private final int to;
+        private final ReductionKernels kernels;
+
+        private DoubleReduction(double[] array, ByteBuffer buffer, int from, int to, ReductionKernels kernels) {
+            this.array = array;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.kernels = kernels;
+        }
+
+        DoubleReduction scalar() {
+            return new DoubleReduction(array, buffer, from, to, ScalarKernels.INSTANCE);
+        }
+
+        long count() {
+            return to - from;
+        }
+
+        double sum() {
+            return array != null ? kernels.sum(array, from, to) : kernels.sumDoubles(buffer, from, to);
+        }
+
+        OptionalDouble min() {
+            if (from == to) return OptionalDouble.empty();
+            return OptionalDouble.of(array != null ? kernels.min(array, from, to) : kernels.minDoubles(buffer, from, to));
+        }
+
+        OptionalDouble max() {
+            if (from == to) return OptionalDouble.empty();
+            return OptionalDouble.of(array != null ? kernels.max(array, from, to) : kernels.maxDoubles(buffer, from, to));
+        }
+
+        OptionalDouble average() {
+            if (from == to) return OptionalDouble.empty();
+            return OptionalDouble.of(sum() / (to - from));
+        }
+
+        long count(Comparison op, double value) {
+            return array != null ? kernels.count(array, from, to, op, value) : kernels.countDoubles(buffer, from, to, op, value);
+        }
+
+        double dot(double[] other) {
+            if (array == null) {
+                throw new IllegalStateException("Buffer-backed reduction: use dot(ByteBuffer)");
+            }
+            Objects.checkFromToIndex(0, to - from, other.length);
+            return kernels.dot(array, from, to, other);
+        }
+
+        // Reads the other operand from its position in its own byte order
+        double dot(ByteBuffer other) {
+            if (buffer == null) {
+                throw new IllegalStateException("Array-backed reduction: use dot(double[])");
+            }
+            ByteBuffer view = VectorReductions.slice(other, Double.BYTES);
+            Objects.checkFromToIndex(0, to - from, view.remaining() / Double.BYTES);
+            return kernels.dotDoubles(buffer, from, to, view);
+        }
+    }
+
+    // ===================================================
+    // Kernel contract — implemented by the scalar loops below and by VectorReductionKernels
+    // ===================================================
+    interface ReductionKernels {
+
+        // Lanes in the narrowest vector used; 1 for the scalar loops
+        int minLanes();
+
+        String describe();
+
+        int sum(int[] a, int from, int to);
+
+        long sumAsLong(int[] a, int from, int to);
+
+        int min(int[] a, int from, int to);
+
+        int max(int[] a, int from, int to);
+
+        long count(int[] a, int from, int to, Comparison op, int value);
+
+        int dot(int[] a, int from, int to, int[] b);
+
+        long sum(long[] a, int from, int to);
+
+        long min(long[] a, int from, int to);
+
+        long max(long[] a, int from, int to);
+
+        long count(long[] a, int from, int to, Comparison op, long value);
+
+        long dot(long[] a, int from, int to, long[] b);
+
+        double sum(double[] a, int from, int to);
+
+        double min(double[] a, int from, int to);
+
+        double max(double[] a, int from, int to);
+
+        long count(double[] a, int from, int to, Comparison op, double value);
+
+        double dot(double[] a, int from, int to, double[] b);
+
+        // Buffer kernels index elements of a zero-based view, read in the view's byte order
+        int sumInts(ByteBuffer a, int from, int to);
+
+        long sumIntsAsLong(ByteBuffer a, int from, int to);
+
+        int minInts(ByteBuffer a, int from, int to);
+
+        int maxInts(ByteBuffer a, int from, int to);
+
+        long countInts(ByteBuffer a, int from, int to, Comparison op, int value);
+
+        int dotInts(ByteBuffer a, int from, int to, ByteBuffer b);
+
+        long sumLongs(ByteBuffer a, int from, int to);
+
+        long minLongs(ByteBuffer a, int from, int to);
+
+        long maxLongs(ByteBuffer a, int from, int to);
+
+        long countLongs(ByteBuffer a, int from, int to, Comparison op, long value);
+
+        long dotLongs(ByteBuffer a, int from, int to, ByteBuffer b);
+
+        double sumDoubles(ByteBuffer a, int from, int to);
+
+        double minDoubles(ByteBuffer a, int from, int to);
+
+        double maxDoubles(ByteBuffer a, int from, int to);
+
+        long countDoubles(ByteBuffer a, int from, int to, Comparison op, double value);
+
+        double dotDoubles(ByteBuffer a, int from, int to, ByteBuffer b);
+    }
+
+    // ===================================================
+    // Scalar fallback — plain loops, no lambdas per element
+    // ===================================================
+    static final class ScalarKernels implements ReductionKernels {
+
+        static final ScalarKernels INSTANCE = new ScalarKernels();
+
+        private ScalarKernels() {
+        }
+
+        @Override
+        public int minLanes() {
+            return 1;
+        }
+
+        @Override
+        public String describe() {
+            return "scalar loops";
+        }
+
+        @Override
+        public int sum(int[] a, int from, int to) {
+            int sum = 0;
+            for (int i = from; i < to; i++) sum += a[i];
+            return sum;
+        }
+
+        @Override
+        public long sumAsLong(int[] a, int from, int to) {
+            long sum = 0;
+            for (int i = from; i < to; i++) sum += a[i];
+            return sum;
+        }
+
+        @Override
+        public long sum(long[] a, int from, int to) {
+            long sum = 0;
+            for (int i = from; i < to; i++) sum += a[i];
+            return sum;
+        }
+
+        @Override
+        public double sum(double[] a, int from, int to) {
+            double sum = 0;
+            for (int i = from; i < to; i++) sum += a[i];
+            return sum;
+        }
+
+        @Override
+        public int min(int[] a, int from, int to) {
+            int min = Integer.MAX_VALUE;
+            for (int i = from; i < to; i++) min = Math.min(min, a[i]);
+            return min;
+        }
+
+        @Override
+        public long min(long[] a, int from, int to) {
+            long min = Long.MAX_VALUE;
+            for (int i = from; i < to; i++) min = Math.min(min, a[i]);
+            return min;
+        }
+
+        @Override
+        public double min(double[] a, int from, int to) {
+            double min = Double.POSITIVE_INFINITY;
+            for (int i = from; i < to; i++) min = Math.min(min, a[i]);
+            return min;
+        }
+
+        @Override
+        public int max(int[] a, int from, int to) {
+            int max = Integer.MIN_VALUE;
+            for (int i = from; i < to; i++) max = Math.max(max, a[i]);
+            return max;
+        }
+
+        @Override
+        public long max(long[] a, int from, int to) {
+            long max = Long.MIN_VALUE;
+            for (int i = from; i < to; i++) max = Math.max(max, a[i]);
+            return max;
+        }
+
+        @Override
+        public double max(double[] a, int from, int to) {
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) max = Math.max(max, a[i]);
+            return max;
+        }
+
+        @Override
+        public long count(int[] a, int from, int to, Comparison op, int value) {
+            long count = 0;
+            for (int i = from; i < to; i++) if (op.test(a[i], value)) count++;
+            return count;
+        }
+
+        @Override
+        public long count(long[] a, int from, int to, Comparison op, long value) {
+            long count = 0;
+            for (int i = from; i < to; i++) if (op.test(a[i], value)) count++;
+            return count;
+        }
+
+        @Override
+        public long count(double[] a, int from, int to, Comparison op, double value) {
+            long count = 0;
+            for (int i = from; i < to; i++) if (op.test(a[i], value)) count++;
+            return count;
+        }
+
+        @Override
+        public int dot(int[] a, int from, int to, int[] b) {
+            return dot(a, from, to, b, 0);
+        }
+
+        public int dot(int[] a, int from, int to, int[] b, int bFrom) {
+            int sum = 0;
+            for (int i = from, j = bFrom; i < to; i++, j++) sum += a[i] * b[j];
+            return sum;
+        }
+
+        @Override
+        public long dot(long[] a, int from, int to, long[] b) {
+            return dot(a, from, to, b, 0);
+        }
+
+        public long dot(long[] a, int from, int to, long[] b, int bFrom) {
+            long sum = 0;
+            for (int i = from, j = bFrom; i < to; i++, j++) sum += a[i] * b[j];
+            return sum;
+        }
+
+        @Override
+        public double dot(double[] a, int from, int to, double[] b) {
+            return dot(a, from, to, b, 0);
+        }
+
+        public double dot(double[] a, int from, int to, double[] b, int bFrom) {
+            double sum = 0;
+            for (int i = from, j = bFrom; i < to; i++, j++) sum += a[i] * b[j];
+            return sum;
+        }
+
+        @Override
+        public int sumInts(ByteBuffer a, int from, int to) {
+            IntBuffer view = a.asIntBuffer();
+            int sum = 0;
+            for (int i = from; i < to; i++) sum += view.get(i);
+            return sum;
+        }
+
+        @Override
+        public long sumIntsAsLong(ByteBuffer a, int from, int to) {
+            IntBuffer view = a.asIntBuffer();
+            long sum = 0;
+            for (int i = from; i < to; i++) sum += view.get(i);
+            return sum;
+        }
+
+        @Override
+        public int minInts(ByteBuffer a, int from, int to) {
+            IntBuffer view = a.asIntBuffer();
+            int min = Integer.MAX_VALUE;
+            for (int i = from; i < to; i++) min = Math.min(min, view.get(i));
+            return min;
+        }
+
+        @Override
+        public int maxInts(ByteBuffer a, int from, int to) {
+            IntBuffer view = a.asIntBuffer();
+            int max = Integer.MIN_VALUE;
+            for (int i = from; i < to; i++) max = Math.max(max, view.get(i));
+            return max;
+        }
+
+        @Override
+        public long countInts(ByteBuffer a, int from, int to, Comparison op, int value) {
+            IntBuffer view = a.asIntBuffer();
+            long count = 0;
+            for (int i = from; i < to; i++) if (op.test(view.get(i), value)) count++;
+            return count;
+        }
+
+        @Override
+        public int dotInts(ByteBuffer a, int from, int to, ByteBuffer b) {
+            return dotInts(a, from, to, b, 0);
+        }
+
+        public int dotInts(ByteBuffer a, int from, int to, ByteBuffer b, int bFrom) {
+            IntBuffer x = a.asIntBuffer();
+            IntBuffer y = b.asIntBuffer();
+            int sum = 0;
+            for (int i = from, j = bFrom; i < to; i++, j++) sum += x.get(i) * y.get(j);
+            return sum;
+        }
+
+        @Override
+        public long sumLongs(ByteBuffer a, int from, int to) {
+            LongBuffer view = a.asLongBuffer();
+            long sum = 0;
+            for (int i = from; i < to; i++) sum += view.get(i);
+            return sum;
+        }
+
+        @Override
+        public long minLongs(ByteBuffer a, int from, int to) {
+            LongBuffer view = a.asLongBuffer();
+            long min = Long.MAX_VALUE;
+            for (int i = from; i < to; i++) min = Math.min(min, view.get(i));
+            return min;
+        }
+
+        @Override
+        public long maxLongs(ByteBuffer a, int from, int to) {
+            LongBuffer view = a.asLongBuffer();
+            long max = Long.MIN_VALUE;
+            for (int i = from; i < to; i++) max = Math.max(max, view.get(i));
+            return max;
+        }
+
+        @Override
+        public long countLongs(ByteBuffer a, int from, int to, Comparison op, long value) {
+            LongBuffer view = a.asLongBuffer();
+            long count = 0;
+            for (int i = from; i < to; i++) if (op.test(view.get(i), value)) count++;
+            return count;
+        }
+
+        @Override
+        public long dotLongs(ByteBuffer a, int from, int to, ByteBuffer b) {
+            return dotLongs(a, from, to, b, 0);
+        }
+
+        public long dotLongs(ByteBuffer a, int from, int to, ByteBuffer b, int bFrom) {
+            LongBuffer x = a.asLongBuffer();
+            LongBuffer y = b.asLongBuffer();
+            long sum = 0;
+            for (int i = from, j = bFrom; i < to; i++, j++) sum += x.get(i) * y.get(j);
+            return sum;
+        }
+
+        @Override
+        public double sumDoubles(ByteBuffer a, int from, int to) {
+            DoubleBuffer view = a.asDoubleBuffer();
+            double sum = 0;
+            for (int i = from; i < to; i++) sum += view.get(i);
+            return sum;
+        }
+
+        @Override
+        public double minDoubles(ByteBuffer a, int from, int to) {
+            DoubleBuffer view = a.asDoubleBuffer();
+            double min = Double.POSITIVE_INFINITY;
+            for (int i = from; i < to; i++) min = Math.min(min, view.get(i));
+            return min;
+        }
+
+        @Override
+        public double maxDoubles(ByteBuffer a, int from, int to) {
+            DoubleBuffer view = a.asDoubleBuffer();
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) max = Math.max(max, view.get(i));
+            return max;
+        }
+
+        @Override
+        public long countDoubles(ByteBuffer a, int from, int to, Comparison op, double value) {
+            DoubleBuffer view = a.asDoubleBuffer();
+            long count = 0;
+            for (int i = from; i < to; i++) if (op.test(view.get(i), value)) count++;
+            return count;
+        }
+
+        @Override
+        public double dotDoubles(ByteBuffer a, int from, int to, ByteBuffer b) {
+            return dotDoubles(a, from, to, b, 0);
+        }
+
+        public double dotDoubles(ByteBuffer a, int from, int to, ByteBuffer b, int bFrom) {
+            DoubleBuffer x = a.asDoubleBuffer();
+            DoubleBuffer y = b.asDoubleBuffer();
+            double sum = 0;
+            for (int i = from, j = bFrom; i < to; i++, j++) sum += x.get(i) * y.get(j);
+            return sum;
+        }
+    }
+
+    // ===================================================
+    // Benchmark — IntStream/DoubleStream vs vector kernels
+    // ===================================================
+    // Working-set sizes chosen to sit in L1, L2, L3 and main memory on a typical x86 core.
+    // Every (size, kernel, implementation) case runs in its own forked JVM, so the JIT profile
+    // of one case cannot deoptimize another. This is still not a JMH harness: treat the numbers as relative.
+    static final class ReductionBenchmark {
+
+        private static final String[] LABELS = {"L1 (16 KiB)", "L2 (256 KiB)", "L3 (4 MiB)", "DRAM (64 MiB)"};
+        private static final int[] BYTES = {16 << 10, 256 << 10, 4 << 20, 64 << 20};
+        private static final String[] KERNELS = {"int-sum", "int-max", "int-count", "double-sum", "double-dot",
+                "direct-int-sum", "direct-double-dot"};
+        private static final long WARMUP_NANOS = 500_000_000L;
+        private static final long ROUND_NANOS = 100_000_000L;
+        private static final int ROUNDS = 5;
+
+        private static long sink;
+
+        private ReductionBenchmark() {
+        }
+
+        static void run() throws IOException, InterruptedException {
+            String kernelColumn = VectorReductions.isVectorized() ? "vector ns/el" : "scalar ns/el";
+            System.out.println();
+            System.out.println("Kernels: " + VectorReductions.status());
+            System.out.printf("%-14s %-17s %12s %12s %9s%n", "Size", "Kernel", "stream ns/el", kernelColumn, "speedup");
+
+            for (int s = 0; s < BYTES.length; s++) {
+                for (String kernel : KERNELS) {
+                    double streamNs = fork(s, kernel, "stream");
+                    double kernelNs = fork(s, kernel, "kernel");
+                    System.out.printf("%-14s %-17s %12.3f %12.3f %8.2fx%n", LABELS[s], kernel, streamNs, kernelNs, streamNs / kernelNs);
+                }
+            }
+        }
+
+        // Relaunches this program with the same JVM options and "--bench-case <size> <kernel> <impl>"
+        private static double fork(int sizeIndex, String kernel, String impl) throws IOException, InterruptedException {
+            List<String> command = new ArrayList<>();
+            command.add(ProcessHandle.current().info().command().orElse("java"));
+            command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+            String sourceFile = System.getProperty("jdk.launcher.sourcefile");
+            if (sourceFile != null) {
+                command.add(sourceFile);
+            } else {
+                command.addAll(List.of("-cp", System.getProperty("java.class.path"), StreamVectorReductionExample.class.getName()));
+            }
+            command.addAll(List.of("--bench-case", String.valueOf(sizeIndex), kernel, impl));
+
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            List<String> output;
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                output = in.lines().toList();
+            }
+            if (process.waitFor() != 0 || output.isEmpty()) {
+                throw new IllegalStateException("Benchmark case " + kernel + "/" + impl + " failed:\n" + String.join("\n", output));
+            }
+            return Double.parseDouble(output.get(output.size() - 1));
+        }
+
+        // Entry point of a forked JVM: prints the best nanoseconds per element as its last line
+        static void runCase(int sizeIndex, String kernel, String impl) {
+            Random random = new Random(42);
+            int[] ints = random.ints(BYTES[sizeIndex] / Integer.BYTES, -1000, 1000).toArray();
+            double[] doubles = random.doubles(BYTES[sizeIndex] / Double.BYTES).toArray();
+            ByteBuffer directInts = ByteBuffer.allocateDirect(BYTES[sizeIndex]).order(ByteOrder.nativeOrder());
+            directInts.asIntBuffer().put(ints);
+            ByteBuffer directDoubles = ByteBuffer.allocateDirect(BYTES[sizeIndex]).order(ByteOrder.nativeOrder());
+            directDoubles.asDoubleBuffer().put(doubles);
+            IntBuffer intView = directInts.asIntBuffer();
+            DoubleBuffer doubleView = directDoubles.asDoubleBuffer();
+            boolean stream = switch (impl) {
+                case "stream" -> true;
+                case "kernel" -> false;
+                default -> throw new IllegalArgumentException("Unknown implementation: " + impl);
+            };
+
+            LongSupplier body = switch (kernel) {
+                case "int-sum" -> stream
+                        ? () -> IntStream.of(ints).sum()
+                        : () -> VectorReductions.of(ints).sum();
+                case "int-max" -> stream
+                        ? () -> IntStream.of(ints).max().getAsInt()
+                        : () -> VectorReductions.of(ints).max().getAsInt();
+                case "int-count" -> stream
+                        ? () -> IntStream.of(ints).filter(n -> n > 0).count()
+                        : () -> VectorReductions.of(ints).count(Comparison.GT, 0);
+                case "double-sum" -> stream
+                        ? () -> (long) DoubleStream.of(doubles).sum()
+                        : () -> (long) VectorReductions.of(doubles).sum();
+                case "double-dot" -> stream
+                        ? () -> (long) IntStream.range(0, doubles.length).mapToDouble(i -> doubles[i] * doubles[i]).sum()
+                        : () -> (long) VectorReductions.of(doubles).dot(doubles);
+                // The stream side of the off-heap cases reads through the typed buffer view
+                case "direct-int-sum" -> stream
+                        ? () -> IntStream.range(0, ints.length).map(intView::get).sum()
+                        : () -> VectorReductions.ofInts(directInts).sum();
+                case "direct-double-dot" -> stream
+                        ? () -> (long) IntStream.range(0, doubles.length).mapToDouble(i -> doubleView.get(i) * doubleView.get(i)).sum()
+                        : () -> (long) VectorReductions.ofDoubles(directDoubles).dot(directDoubles);
+                default -> throw new IllegalArgumentException("Unknown kernel: " + kernel);
+            };
+            int elements = kernel.contains("int") ? ints.length : doubles.length;
+
+            long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+            while (System.nanoTime() < warmupEnd) sink += body.getAsLong();
+
+            // Best of several fixed-duration rounds, in nanoseconds per element
+            double best = Double.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long reps = 0;
+                long start = System.nanoTime();
+                long elapsed;
+                do {
+                    sink += body.getAsLong();
+                    reps++;
+                    elapsed = System.nanoTime() - start;
+                } while (elapsed < ROUND_NANOS);
+                best = Math.min(best, (double) elapsed / reps / elements);
+            }
+            System.out.println("sink " + sink);
+            System.out.println(best);
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package demo_programs;
+
+import demo_programs.StreamVectorReductionExample.Comparison;
+import demo_programs.StreamVectorReductionExample.ScalarKernels;
+
+import java.nio.*;
+
+import jdk.incubator.vector.*;
+
+// Vector API kernels for StreamVectorReductionExample. Kept in a separate file so the example
+// itself compiles without jdk.incubator.vector; it loads this class reflectively when the module
+// is present. Compile both files together to enable SIMD:
+//   javac --add-modules jdk.incubator.vector -d out demo_programs/StreamVectorReductionExample.java demo_programs/VectorReductionKernels.java
+//   java --add-modules jdk.incubator.vector -cp out demo_programs.StreamVectorReductionExample
+//
+// Each kernel processes SPECIES.length() lanes per iteration up to loopBound(),
+// then finishes the remaining tail elements with the scalar loops.
+public final class VectorReductionKernels implements StreamVectorReductionExample.ReductionKernels {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    private static final ScalarKernels SCALAR = ScalarKernels.INSTANCE;
+
+    public VectorReductionKernels() {
+    }
+
+    @Override
+    public int minLanes() {
+        return Math.min(INTS.length(), Math.min(LONGS.length(), DOUBLES.length()));
+    }
+
+    @Override
+    public String describe() {
+        return "Vector API " + INTS + ", " + LONGS + ", " + DOUBLES;
+    }
+
+    @Override
+    public int sum(int[] a, int from, int to) {
+        IntVector acc = IntVector.zero(INTS);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.add(IntVector.fromArray(INTS, a, i));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + SCALAR.sum(a, i, to);
+    }
+
+    @Override
+    public long sumAsLong(int[] a, int from, int to) {
+        // Widen each int vector into long lanes so the running total cannot wrap
+        LongVector acc = LongVector.zero(LONGS);
+        int parts = INTS.length() / LONGS.length();
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, a, i);
+            for (int part = 0; part < parts; part++) {
+                acc = acc.add(v.convertShape(VectorOperators.I2L, LONGS, part));
+            }
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + SCALAR.sumAsLong(a, i, to);
+    }
+
+    @Override
+    public long sum(long[] a, int from, int to) {
+        LongVector acc = LongVector.zero(LONGS);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.add(LongVector.fromArray(LONGS, a, i));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + SCALAR.sum(a, i, to);
+    }
+
+    @Override
+    public double sum(double[] a, int from, int to) {
+        DoubleVector acc = DoubleVector.zero(DOUBLES);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            acc = acc.add(DoubleVector.fromArray(DOUBLES, a, i));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + SCALAR.sum(a, i, to);
+    }
+
+    @Override
+    public int min(int[] a, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.min(IntVector.fromArray(INTS, a, i));
+        }
+        return Math.min(acc.reduceLanes(VectorOperators.MIN), SCALAR.min(a, i, to));
+    }
+
+    @Override
+    public long min(long[] a, int from, int to) {
+        LongVector acc = LongVector.broadcast(LONGS, Long.MAX_VALUE);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.min(LongVector.fromArray(LONGS, a, i));
+        }
+        return Math.min(acc.reduceLanes(VectorOperators.MIN), SCALAR.min(a, i, to));
+    }
+
+    @Override
+    public double min(double[] a, int from, int to) {
+        DoubleVector acc = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            acc = acc.min(DoubleVector.fromArray(DOUBLES, a, i));
+        }
+        return Math.min(acc.reduceLanes(VectorOperators.MIN), SCALAR.min(a, i, to));
+    }
+
+    @Override
+    public int max(int[] a, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.max(IntVector.fromArray(INTS, a, i));
+        }
+        return Math.max(acc.reduceLanes(VectorOperators.MAX), SCALAR.max(a, i, to));
+    }
+
+    @Override
+    public long max(long[] a, int from, int to) {
+        LongVector acc = LongVector.broadcast(LONGS, Long.MIN_VALUE);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.max(LongVector.fromArray(LONGS, a, i));
+        }
+        return Math.max(acc.reduceLanes(VectorOperators.MAX), SCALAR.max(a, i, to));
+    }
+
+    @Override
+    public double max(double[] a, int from, int to) {
+        DoubleVector acc = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            acc = acc.max(DoubleVector.fromArray(DOUBLES, a, i));
+        }
+        return Math.max(acc.reduceLanes(VectorOperators.MAX), SCALAR.max(a, i, to));
+    }
+
+    @Override
+    public long count(int[] a, int from, int to, Comparison op, int value) {
+        long count = 0;
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            count += matches(IntVector.fromArray(INTS, a, i), op, value);
+        }
+        return count + SCALAR.count(a, i, to, op, value);
+    }
+
+    @Override
+    public long count(long[] a, int from, int to, Comparison op, long value) {
+        long count = 0;
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            count += matches(LongVector.fromArray(LONGS, a, i), op, value);
+        }
+        return count + SCALAR.count(a, i, to, op, value);
+    }
+
+    @Override
+    public long count(double[] a, int from, int to, Comparison op, double value) {
+        long count = 0;
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            count += matches(DoubleVector.fromArray(DOUBLES, a, i), op, value);
+        }
+        return count + SCALAR.count(a, i, to, op, value);
+    }
+
+    @Override
+    public int dot(int[] a, int from, int to, int[] b) {
+        IntVector acc = IntVector.zero(INTS);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.add(IntVector.fromArray(INTS, a, i).mul(IntVector.fromArray(INTS, b, i - from)));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + SCALAR.dot(a, i, to, b, i - from);
+    }
+
+    @Override
+    public long dot(long[] a, int from, int to, long[] b) {
+        LongVector acc = LongVector.zero(LONGS);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.add(LongVector.fromArray(LONGS, a, i).mul(LongVector.fromArray(LONGS, b, i - from)));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + SCALAR.dot(a, i, to, b, i - from);
+    }
+
+    @Override
+    public double dot(double[] a, int from, int to, double[] b) {
+        DoubleVector acc = DoubleVector.zero(DOUBLES);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            acc = DoubleVector.fromArray(DOUBLES, a, i).fma(DoubleVector.fromArray(DOUBLES, b, i - from), acc);
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + SCALAR.dot(a, i, to, b, i - from);
+    }
+
+    // Buffer kernels: same loops, loading with fromByteBuffer at byte offset i * BYTES in the view's order
+
+    @Override
+    public int sumInts(ByteBuffer a, int from, int to) {
+        IntVector acc = IntVector.zero(INTS);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.add(IntVector.fromByteBuffer(INTS, a, i * Integer.BYTES, a.order()));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + SCALAR.sumInts(a, i, to);
+    }
+
+    @Override
+    public long sumIntsAsLong(ByteBuffer a, int from, int to) {
+        LongVector acc = LongVector.zero(LONGS);
+        int parts = INTS.length() / LONGS.length();
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            IntVector v = IntVector.fromByteBuffer(INTS, a, i * Integer.BYTES, a.order());
+            for (int part = 0; part < parts; part++) {
+                acc = acc.add(v.convertShape(VectorOperators.I2L, LONGS, part));
+            }
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + SCALAR.sumIntsAsLong(a, i, to);
+    }
+
+    @Override
+    public int minInts(ByteBuffer a, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.min(IntVector.fromByteBuffer(INTS, a, i * Integer.BYTES, a.order()));
+        }
+        return Math.min(acc.reduceLanes(VectorOperators.MIN), SCALAR.minInts(a, i, to));
+    }
+
+    @Override
+    public int maxInts(ByteBuffer a, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.max(IntVector.fromByteBuffer(INTS, a, i * Integer.BYTES, a.order()));
+        }
+        return Math.max(acc.reduceLanes(VectorOperators.MAX), SCALAR.maxInts(a, i, to));
+    }
+
+    @Override
+    public long countInts(ByteBuffer a, int from, int to, Comparison op, int value) {
+        long count = 0;
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            count += matches(IntVector.fromByteBuffer(INTS, a, i * Integer.BYTES, a.order()), op, value);
+        }
+        return count + SCALAR.countInts(a, i, to, op, value);
+    }
+
+    @Override
+    public int dotInts(ByteBuffer a, int from, int to, ByteBuffer b) {
+        IntVector acc = IntVector.zero(INTS);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.add(IntVector.fromByteBuffer(INTS, a, i * Integer.BYTES, a.order())
+                    .mul(IntVector.fromByteBuffer(INTS, b, (i - from) * Integer.BYTES, b.order())));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + SCALAR.dotInts(a, i, to, b, i - from);
+    }
+
+    @Override
+    public long sumLongs(ByteBuffer a, int from, int to) {
+        LongVector acc = LongVector.zero(LONGS);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.add(LongVector.fromByteBuffer(LONGS, a, i * Long.BYTES, a.order()));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + SCALAR.sumLongs(a, i, to);
+    }
+
+    @Override
+    public long minLongs(ByteBuffer a, int from, int to) {
+        LongVector acc = LongVector.broadcast(LONGS, Long.MAX_VALUE);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.min(LongVector.fromByteBuffer(LONGS, a, i * Long.BYTES, a.order()));
+        }
+        return Math.min(acc.reduceLanes(VectorOperators.MIN), SCALAR.minLongs(a, i, to));
+    }
+
+    @Override
+    public long maxLongs(ByteBuffer a, int from, int to) {
+        LongVector acc = LongVector.broadcast(LONGS, Long.MIN_VALUE);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.max(LongVector.fromByteBuffer(LONGS, a, i * Long.BYTES, a.order()));
+        }
+        return Math.max(acc.reduceLanes(VectorOperators.MAX), SCALAR.maxLongs(a, i, to));
+    }
+
+    @Override
+    public long countLongs(ByteBuffer a, int from, int to, Comparison op, long value) {
+        long count = 0;
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            count += matches(LongVector.fromByteBuffer(LONGS, a, i * Long.BYTES, a.order()), op, value);
+        }
+        return count + SCALAR.countLongs(a, i, to, op, value);
+    }
+
+    @Override
+    public long dotLongs(ByteBuffer a, int from, int to, ByteBuffer b) {
+        LongVector acc = LongVector.zero(LONGS);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.add(LongVector.fromByteBuffer(LONGS, a, i * Long.BYTES, a.order())
+                    .mul(LongVector.fromByteBuffer(LONGS, b, (i - from) * Long.BYTES, b.order())));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + SCALAR.dotLongs(a, i, to, b, i - from);
+    }
+
+    @Override
+    public double sumDoubles(ByteBuffer a, int from, int to) {
+        DoubleVector acc = DoubleVector.zero(DOUBLES);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            acc = acc.add(DoubleVector.fromByteBuffer(DOUBLES, a, i * Double.BYTES, a.order()));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + SCALAR.sumDoubles(a, i, to);
+    }
+
+    @Override
+    public double minDoubles(ByteBuffer a, int from, int to) {
+        DoubleVector acc = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            acc = acc.min(DoubleVector.fromByteBuffer(DOUBLES, a, i * Double.BYTES, a.order()));
+        }
+        return Math.min(acc.reduceLanes(VectorOperators.MIN), SCALAR.minDoubles(a, i, to));
+    }
+
+    @Override
+    public double maxDoubles(ByteBuffer a, int from, int to) {
+        DoubleVector acc = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            acc = acc.max(DoubleVector.fromByteBuffer(DOUBLES, a, i * Double.BYTES, a.order()));
+        }
+        return Math.max(acc.reduceLanes(VectorOperators.MAX), SCALAR.maxDoubles(a, i, to));
+    }
+
+    @Override
+    public long countDoubles(ByteBuffer a, int from, int to, Comparison op, double value) {
+        long count = 0;
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            count += matches(DoubleVector.fromByteBuffer(DOUBLES, a, i * Double.BYTES, a.order()), op, value);
+        }
+        return count + SCALAR.countDoubles(a, i, to, op, value);
+    }
+
+    @Override
+    public double dotDoubles(ByteBuffer a, int from, int to, ByteBuffer b) {
+        DoubleVector acc = DoubleVector.zero(DOUBLES);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            acc = DoubleVector.fromByteBuffer(DOUBLES, a, i * Double.BYTES, a.order())
+                    .fma(DoubleVector.fromByteBuffer(DOUBLES, b, (i - from) * Double.BYTES, b.order()), acc);
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + SCALAR.dotDoubles(a, i, to, b, i - from);
+    }
+
+    // Each branch passes a constant operator so the JIT can intrinsify compare();
+    // an operator held in a variable falls back to a slow per-lane path
+    private static int matches(IntVector v, Comparison op, int value) {
+        return switch (op) {
+            case LT -> v.compare(VectorOperators.LT, value).trueCount();
+            case LE -> v.compare(VectorOperators.LE, value).trueCount();
+            case GT -> v.compare(VectorOperators.GT, value).trueCount();
+            case GE -> v.compare(VectorOperators.GE, value).trueCount();
+            case EQ -> v.compare(VectorOperators.EQ, value).trueCount();
+            case NE -> v.compare(VectorOperators.NE, value).trueCount();
+        };
+    }
+
+    private static int matches(LongVector v, Comparison op, long value) {
+        return switch (op) {
+            case LT -> v.compare(VectorOperators.LT, value).trueCount();
+            case LE -> v.compare(VectorOperators.LE, value).trueCount();
+            case GT -> v.compare(VectorOperators.GT, value).trueCount();
+            case GE -> v.compare(VectorOperators.GE, value).trueCount();
+            case EQ -> v.compare(VectorOperators.EQ, value).trueCount();
+            case NE -> v.compare(VectorOperators.NE, value).trueCount();
+        };
+    }
+
+    private static int matches(DoubleVector v, Comparison op, double value) {
+        return switch (op) {
+            case LT -> v.compare(VectorOperators.LT, value).trueCount();
+            case LE -> v.compare(VectorOperators.LE, value).trueCount();
+            case GT -> v.compare(VectorOperators.GT, value).trueCount();
+            case GE -> v.compare(VectorOperators.GE, value).trueCount();
+            case EQ -> v.compare(VectorOperators.EQ, value).trueCount();
+            case NE -> v.compare(VectorOperators.NE, value).trueCount();
+        };
+    }
+}